@@ -0,0 +1,231 @@
+package commandLine.options.annotation;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Value constraints declared with Range, DecimalRange, Size, Pattern and OneOf.
+ * They are compiled once per parser class, so Patterns are not recompiled for every parse.
+ */
+final class ArgumentConstraints {
+
+    private static final String RANGE_NOT_INTEGRAL = "%s has a Range but is not integral, use DecimalRange.";
+    private static final String DECIMAL_RANGE_NOT_DECIMAL = "%s has a DecimalRange but is not a float or a double.";
+    private static final String RANGE_ILL_DEFINED = "%s has a Range with min greater than max.";
+    private static final String SIZE_NOT_SIZED = "%s has a Size but is not a String or an array.";
+    private static final String SIZE_ILL_DEFINED = "%s has a Size with min greater than max.";
+    private static final String PATTERN_NOT_STRING = "%s has a Pattern but is not a String.";
+    private static final String PATTERN_INVALID = "%s has an invalid Pattern %s";
+    private static final String DECIMAL_RANGE_ILL_DEFINED = "%s has a DecimalRange with min greater than max.";
+    private static final String ONE_OF_NOT_CONVERTIBLE = "%s has a OneOf value %s that can't be converted to the Argument type.";
+    private static final String ONE_OF_EMPTY = "%s has a OneOf without any value.";
+
+    private static final String OUT_OF_RANGE = "%s value %s is not in range [%s, %s]";
+    private static final String WRONG_SIZE = "%s size %d is not in range [%d, %d]";
+    private static final String NOT_MATCHING = "%s value %s does not match %s";
+    private static final String NOT_ONE_OF = "%s value %s is not one of %s";
+
+    private static final Constraint NONE = v -> { };
+    private static final Set<Class<?>> INTEGRAL = new HashSet<>(Arrays.asList(
+            byte.class, short.class, int.class, long.class, Byte.class, Short.class, Integer.class, Long.class));
+    private static final Set<Class<?>> DECIMAL = new HashSet<>(Arrays.asList(
+            float.class, double.class, Float.class, Double.class));
+
+    private static final ClassValue<Compiled> compiled = new ClassValue<Compiled>() {
+        @Override
+        protected Compiled computeValue(Class<?> parserClass) {
+            return new Compiled(parserClass);
+        }
+    };
+
+    private ArgumentConstraints() { }
+
+    @FunctionalInterface
+    interface Constraint {
+        void check(Object value);
+    }
+
+    /**
+     * The constraints of a parser class are compiled by its first instance.
+     * @param converters the String conversions of the parser, OneOf converts its accepted values with them
+     */
+    static Map<Field, Constraint> of(Class<?> parserClass, Supplier<Map<Class<?>, Function<String, ?>>> converters) {
+        return compiled.get(parserClass).get(converters);
+    }
+
+    static Constraint none() {
+        return NONE;
+    }
+
+    static boolean isIntegral(Class<?> type) {
+        return INTEGRAL.contains(type);
+    }
+
+    private static Map<Field, Constraint> compile(List<Field> fields, Map<Class<?>, Function<String, ?>> converters) {
+        Map<Field, Constraint> result = new HashMap<>();
+        for (Field field : fields) {
+            Constraint constraint = compile(field, converters);
+            if ( constraint != NONE )
+                result.put(field, constraint);
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    private static Constraint compile(Field field, Map<Class<?>, Function<String, ?>> converters) {
+        String name = field.getName();
+        Class<?> type = field.getType();
+        Class<?> elementType = type.isArray() ? type.getComponentType() : type;
+        List<Constraint> perValue = new ArrayList<>();
+        List<Constraint> perElement = new ArrayList<>();
+
+        Size size = field.getAnnotation(Size.class);
+        if ( size != null ) {
+            check(String.class.equals(type) || type.isArray(), String.format(SIZE_NOT_SIZED, name));
+            check(size.min() <= size.max(), String.format(SIZE_ILL_DEFINED, name));
+            int min = size.min(), max = size.max();
+            perValue.add(v -> {
+                int length = v instanceof String ? ((String) v).length() : Array.getLength(v);
+                if ( length < min || length > max )
+                    fail(String.format(WRONG_SIZE, name, length, min, max));
+            });
+        }
+
+        Range range = field.getAnnotation(Range.class);
+        if ( range != null ) {
+            check(INTEGRAL.contains(elementType), String.format(RANGE_NOT_INTEGRAL, name));
+            check(range.min() <= range.max(), String.format(RANGE_ILL_DEFINED, name));
+            long min = range.min(), max = range.max();
+            perElement.add(v -> {
+                long value = ((Number) v).longValue();
+                if ( value < min || value > max )
+                    fail(String.format(OUT_OF_RANGE, name, v, min, max));
+            });
+        }
+
+        DecimalRange decimalRange = field.getAnnotation(DecimalRange.class);
+        if ( decimalRange != null ) {
+            check(DECIMAL.contains(elementType), String.format(DECIMAL_RANGE_NOT_DECIMAL, name));
+            check(decimalRange.min() <= decimalRange.max(), String.format(DECIMAL_RANGE_ILL_DEFINED, name));
+            double min = decimalRange.min(), max = decimalRange.max();
+            perElement.add(v -> {
+                double value = ((Number) v).doubleValue();
+                if ( !(value >= min && value <= max) )
+                    fail(String.format(OUT_OF_RANGE, name, v, min, max));
+            });
+        }
+
+        Pattern pattern = field.getAnnotation(Pattern.class);
+        if ( pattern != null ) {
+            check(String.class.equals(elementType), String.format(PATTERN_NOT_STRING, name));
+            java.util.regex.Pattern regex;
+            try {
+                regex = java.util.regex.Pattern.compile(pattern.value());
+            } catch (java.util.regex.PatternSyntaxException e) {
+                throw new ParsingException.IllDefinedOptions(String.format(PATTERN_INVALID, name, pattern.value()));
+            }
+            perElement.add(v -> {
+                if ( !regex.matcher((String) v).matches() )
+                    fail(String.format(NOT_MATCHING, name, v, regex.pattern()));
+            });
+        }
+
+        OneOf oneOf = field.getAnnotation(OneOf.class);
+        if ( oneOf != null ) {
+            check(oneOf.value().length > 0, String.format(ONE_OF_EMPTY, name));
+            Set<Object> accepted = convertAll(name, oneOf.value(), converters.get(elementType));
+            perElement.add(v -> {
+                if ( !accepted.contains(v) )
+                    fail(String.format(NOT_ONE_OF, name, v, Arrays.toString(oneOf.value())));
+            });
+        }
+
+        if ( !perElement.isEmpty() ) {
+            Constraint element = allOf(perElement);
+            perValue.add(type.isArray() ? forEachElement(element) : element);
+        }
+        return perValue.isEmpty() ? NONE : allOf(perValue);
+    }
+
+    private static Constraint allOf(List<Constraint> constraints) {
+        if ( constraints.size() == 1 )
+            return constraints.get(0);
+
+        Constraint[] all = constraints.toArray(new Constraint[0]);
+        return v -> {
+            for (Constraint c : all) {
+                c.check(v);
+            }
+        };
+    }
+
+    private static Constraint forEachElement(Constraint element) {
+        return v -> {
+            for (int i = 0; i < Array.getLength(v); i++) {
+                Object e = Array.get(v, i);
+                if ( e != null )
+                    element.check(e);
+            }
+        };
+    }
+
+    /**
+     * Accepted values are compared after conversion, so "1" accepts 1.0 for a Float field.
+     */
+    private static Set<Object> convertAll(String fieldName, String[] values, Function<String, ?> converter) {
+        Set<Object> result = new HashSet<>();
+        for (String value : values) {
+            try {
+                result.add(converter.apply(value.trim()));
+            } catch (RuntimeException e) {
+                throw new ParsingException.IllDefinedOptions(String.format(ONE_OF_NOT_CONVERTIBLE, fieldName, value));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Compiled lazily because the converters come from a parser instance.
+     * A failed compilation is not kept, so every new instance reports it again.
+     */
+    private static final class Compiled {
+        private final Class<?> parserClass;
+        private volatile Map<Field, Constraint> constraints;
+
+        Compiled(Class<?> parserClass) {
+            this.parserClass = parserClass;
+        }
+
+        Map<Field, Constraint> get(Supplier<Map<Class<?>, Function<String, ?>>> converters) {
+            Map<Field, Constraint> result = constraints;
+            if ( result == null ) {
+                synchronized (this) {
+                    result = constraints;
+                    if ( result == null ) {
+                        List<Field> fields = ArgumentParser.getArgumentAnnotationsThroughInheritance(parserClass);
+                        result = compile(fields, converters.get());
+                        constraints = result;
+                    }
+                }
+            }
+            return result;
+        }
+    }
+
+    private static void check(boolean isOK, String exceptionMsg) {
+        if (!isOK) throw new ParsingException.IllDefinedOptions(exceptionMsg);
+    }
+
+    private static void fail(String exceptionMsg) {
+        throw new ParsingException.IllegalState(exceptionMsg);
+    }
+}
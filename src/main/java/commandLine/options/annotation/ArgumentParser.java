@@ -26,11 +26,12 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.toList;
 
 @Slf4j
-public class ArgumentParser {
+public class ArgumentParser implements Cloneable {
 
     private static final String NOT_ARGUMENT_TYPE = "%s is not an Argument annotation.";
     private static final String MISSING_OPT = "%s does not define a flag.";
@@ -39,12 +40,14 @@ public class ArgumentParser {
     private static final String UNEXPECTED_ARGUMENT_TYPE = "A new Argument type is detected but not handle.";
     private static final String ERROR_PARSING_ARG = "Error found during argument parsing %s";
     private static final String PRIMITIVE_ARRAY_FOUND = "Use wrapper type for array for field %s";
+    private static final String SWEEP_NOT_SCALAR = "%s is a Sweep, so it must be a scalar taking a value.";
     private static final String OPTION_DEFINED ="Option field {} defined opt:{},{} hasArgs:{}, required:{}.";
 
     private Options options = new Options();
     private Map<Class<?>, Function<String, ?>> stringValueTransformer = new HashMap<>();
 
     private List<Field> fieldsAnnotatedAsArgument;
+    private Map<Field, ArgumentConstraints.Constraint> constraints;
 
     public ArgumentParser() {
         this.fieldsAnnotatedAsArgument = getArgumentAnnotationsThroughInheritance();
@@ -52,11 +55,12 @@ public class ArgumentParser {
         for (Field field : fieldsAnnotatedAsArgument) {
             Argument annotation = field.getAnnotation(Argument.class);
 
-            validate(field.getName(), field.getType(), annotation);
+            validate(field.getName(), field.getType(), annotation, isSweep(field));
             Option optionWithBasicSetting = cliCommandOptionObjectFactory(annotation);
             Optional<Option> option = hookForCustomOptionSetting(field, optionWithBasicSetting);
             option.ifPresent(x -> options.addOption(x));
         }
+        this.constraints = ArgumentConstraints.of(getClass(), this::configureConverters);
     }
 
     private Option cliCommandOptionObjectFactory(Argument annotation) {
@@ -87,25 +91,92 @@ public class ArgumentParser {
      * @return this method return this for linking method call
      */
     public ArgumentParser parse (String... args) {
-        configureDefaultFieldsValueSetters();
-        stringValueTransformer.putAll(hookCustomTypeConversion());
+        configureConverters();
 
-        CommandLineParser parser = new DefaultParser();
-        try {
-            CommandLine cmd = parser.parse(options, args);
-            for (Field field : this.fieldsAnnotatedAsArgument){
-                Argument annotation = field.getAnnotation(Argument.class);
-                String value = getCmdValueFromTerminalAsString(annotation, cmd);
+        CommandLine cmd = parseCommandLine(args);
+        for (Field field : this.fieldsAnnotatedAsArgument){
+            Argument annotation = field.getAnnotation(Argument.class);
+            String value = getCmdValueFromTerminalAsString(annotation, cmd);
+            setValue(field, value);
+        }
+        return this;
+    }
+
+    /**
+     * This method assign value to the instance variables, except the Sweep fields which take
+     * a list of values or, for integral fields, integer ranges. Each distinct listed value is
+     * converted once. A range is checked through its bounds, so it is rejected on a field with
+     * a OneOf, Pattern or Size, and its values are boxed when a point needs them.
+     * The points are shallow copies sharing the converted values, arrays included,
+     * so they should be treated as read-only.
+     * @param type The class of this parser
+     * @param args The String array in main()
+     * @return a lazy stream of copies of this parser, one per point of the cartesian product
+     *         of the Sweep values, the last Sweep field varying the fastest
+     */
+    public <T extends ArgumentParser> Stream<T> sweep (Class<T> type, String... args) {
+        T parsed = type.cast(this);
+
+        configureConverters();
+
+        CommandLine cmd = parseCommandLine(args);
+        List<Field> sweepFields = new ArrayList<>();
+        List<ArgumentSweep.Axis> axes = new ArrayList<>();
+        for (Field field : this.fieldsAnnotatedAsArgument){
+            Argument annotation = field.getAnnotation(Argument.class);
+            String value = getCmdValueFromTerminalAsString(annotation, cmd);
+            if ( isSweep(field) && value != null ) {
+                sweepFields.add(field);
+                axes.add(ArgumentSweep.axis(field, value, token -> convert(field, token)));
+            } else {
                 setValue(field, value);
             }
+        }
+        return ArgumentSweep.stream(type, parsed, sweepFields, axes);
+    }
+
+    private CommandLine parseCommandLine (String... args) {
+        CommandLineParser parser = new DefaultParser();
+        try {
+            return parser.parse(options, args);
         } catch (ParseException e) {
             HelpFormatter formatter = new HelpFormatter();
             formatter.printHelp(e.getMessage(), options);
             throw new ParsingException.IllegalState(String.format(ERROR_PARSING_ARG, Arrays.toString(args)), e);
         }
+    }
+
+    /**
+     * This method writes the values bound to the Argument fields into a binary snapshot,
+     * so that another process with the same Argument schema can load them without parsing.
+     * Only the built-in types and their arrays can be written: a field of any other type,
+     * such as one added by hookCustomTypeConversion(), makes it throw ParsingException.IllegalState,
+     * even when the field is null.
+     * @param snapshot The file to write, it is overwritten if it exists
+     * @return this method return this for linking method call
+     */
+    public ArgumentParser save (Path snapshot) {
+        ArgumentSnapshot.write(this, fieldsAnnotatedAsArgument, snapshot);
+        return this;
+    }
+
+    /**
+     * This method assign value to the instance variables from a snapshot written by save(),
+     * no String conversion is run. It fails if the snapshot was written for another Argument schema.
+     * @param snapshot The file written by save()
+     * @return this method return this for linking method call
+     */
+    public ArgumentParser load (Path snapshot) {
+        ArgumentSnapshot.read(this, fieldsAnnotatedAsArgument, snapshot);
         return this;
     }
 
+    private Map<Class<?>, Function<String, ?>> configureConverters () {
+        configureDefaultFieldsValueSetters();
+        stringValueTransformer.putAll(hookCustomTypeConversion());
+        return stringValueTransformer;
+    }
+
     public Map<Class<?>, Function<String, ?>> hookCustomTypeConversion (){
         return Collections.emptyMap();
     }
@@ -128,28 +199,51 @@ public class ArgumentParser {
         if ( value == null )
             return;
 
+        Object converted = convert(f, value);
         boolean wasAccessible = f.isAccessible();
         f.setAccessible(true);
+        try {
+            f.set(this, converted);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        } finally {
+            f.setAccessible(wasAccessible);
+        }
+    }
+
+    private Object convert(Field f, String value) {
         try {
             value = value.trim();
             Class c = f.getType();
             Function<String, ?> func = stringValueTransformer.get(c);
             Object converted = func.apply(value);
-            f.set(this, converted);
+            constraints.getOrDefault(f, ArgumentConstraints.none()).check(converted);
+            return converted;
+        } catch (ParsingException.IllegalState e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException(e);
-        } finally {
-            f.setAccessible(wasAccessible);
         }
     }
 
+    /**
+     * Shallow copy used for the sweep points, the converted values are shared.
+     * The copy has its own converters, which parse() fills again.
+     */
+    @SneakyThrows
+    ArgumentParser copy() {
+        ArgumentParser copy = (ArgumentParser) super.clone();
+        copy.stringValueTransformer = new HashMap<>();
+        return copy;
+    }
+
 
 
 
 
 
 
-    private void validate (String fieldName, Class fieldType, Argument annotation) {
+    private void validate (String fieldName, Class fieldType, Argument annotation, boolean isSweep) {
         check(Objects.nonNull(annotation),  String.format(NOT_ARGUMENT_TYPE, fieldName));
         check(defined(annotation.value()),  String.format(MISSING_OPT, fieldName));
 
@@ -165,11 +259,20 @@ public class ArgumentParser {
             boolean isBoolean = boolean.class.equals(fieldType) || Boolean.class.equals(fieldType);
             check(isBoolean,    String.format(FLAG_MUST_BE_BOOL, fieldName));
         }
+
+        if ( isSweep ) {
+            boolean isScalar = !fieldType.isArray() && annotation.type().hasArg;
+            check(isScalar,     String.format(SWEEP_NOT_SCALAR, fieldName));
+        }
     }
 
     public List<Field> getArgumentAnnotationsThroughInheritance() {
+        return getArgumentAnnotationsThroughInheritance(getClass());
+    }
+
+    static List<Field> getArgumentAnnotationsThroughInheritance(Class<?> parserClass) {
         ArrayList<Field> result = new ArrayList<>();
-        Class obj = getClass();
+        Class obj = parserClass;
         do {
             Field[] fields =obj.getDeclaredFields();
             Arrays.asList(fields).stream().filter(ArgumentParser::isArgument).forEach(result::add);
@@ -244,6 +347,10 @@ public class ArgumentParser {
         return Objects.nonNull(f.getAnnotation(Argument.class));
     }
 
+    private static boolean isSweep (Field f) {
+        return Objects.nonNull(f.getAnnotation(Sweep.class));
+    }
+
     private static boolean defined (String s) {
         boolean undefine = Objects.isNull(s) || s.isEmpty() || Argument.UNDEFINED.equals(s);
         return !undefine;
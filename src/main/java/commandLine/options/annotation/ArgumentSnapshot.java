@@ -0,0 +1,240 @@
+package commandLine.options.annotation;
+
+import lombok.AllArgsConstructor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary snapshot of the values bound to the Argument fields of a parser.
+ * A child process loads the snapshot instead of parsing the command line again,
+ * so no String conversion is run. The snapshot carries a hash of the Argument
+ * schema and loading fails if the schema of the loading class is different.
+ */
+final class ArgumentSnapshot {
+
+    private static final int MAGIC = 0x41525053; // "ARPS"
+    private static final short VERSION = 1;
+    private static final byte ABSENT = 0;
+    private static final byte PRESENT = 1;
+
+    private static final String NO_CODEC = "Field %s of type %s can't be written to a snapshot";
+    private static final String NOT_A_SNAPSHOT = "%s is not an argument snapshot";
+    private static final String UNSUPPORTED_VERSION = "Snapshot %s has version %d but %d is expected";
+    private static final String SCHEMA_MISMATCH = "Snapshot %s was written for another Argument schema";
+    private static final String ERROR_WRITING = "Error found during snapshot writing %s";
+    private static final String TRAILING_BYTES = "Snapshot %s has unexpected bytes after the last value";
+    private static final String CORRUPT_LENGTH = "Snapshot length %d is corrupt";
+    private static final String ERROR_READING = "Error found during snapshot reading %s";
+
+    private static final Map<Class<?>, Codec> codecs = new HashMap<>();
+
+    static {
+        register(boolean.class, Boolean.class,   (out, v) -> out.writeBoolean((Boolean) v),  in -> in.get() != 0);
+        register(byte.class,    Byte.class,      (out, v) -> out.writeByte((Byte) v),        ByteBuffer::get);
+        register(char.class,    Character.class, (out, v) -> out.writeChar((Character) v),   ByteBuffer::getChar);
+        register(short.class,   Short.class,     (out, v) -> out.writeShort((Short) v),      ByteBuffer::getShort);
+        register(int.class,     Integer.class,   (out, v) -> out.writeInt((Integer) v),      ByteBuffer::getInt);
+        register(long.class,    Long.class,      (out, v) -> out.writeLong((Long) v),        ByteBuffer::getLong);
+        register(float.class,   Float.class,     (out, v) -> out.writeFloat((Float) v),      ByteBuffer::getFloat);
+        register(double.class,  Double.class,    (out, v) -> out.writeDouble((Double) v),    ByteBuffer::getDouble);
+
+        register(String.class,  (out, v) -> writeString(out, (String) v),           ArgumentSnapshot::readString);
+        register(Date.class,    (out, v) -> out.writeLong(((Date) v).getTime()),    in -> new Date(in.getLong()));
+        register(File.class,    (out, v) -> writeString(out, ((File) v).getPath()), in -> new File(readString(in)));
+        register(Path.class,    (out, v) -> writeString(out, v.toString()),         in -> Paths.get(readString(in)));
+    }
+
+    private ArgumentSnapshot() { }
+
+    static void write(Object holder, List<Field> fields, Path snapshot) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeLong(schemaHash(fields));
+            out.writeInt(fields.size());
+            for (Field field : fields) {
+                writeValue(out, codecOf(field), get(holder, field));
+            }
+            out.flush();
+            Files.write(snapshot, bytes.toByteArray());
+        } catch (IOException e) {
+            throw new ParsingException.IllegalState(String.format(ERROR_WRITING, snapshot), e);
+        }
+    }
+
+    static void read(Object holder, List<Field> fields, Path snapshot) {
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if ( in.remaining() < 18 || in.getInt() != MAGIC )
+                throw new ParsingException.IllegalState(String.format(NOT_A_SNAPSHOT, snapshot));
+            short version = in.getShort();
+            if ( version != VERSION )
+                throw new ParsingException.IllegalState(String.format(UNSUPPORTED_VERSION, snapshot, version, VERSION));
+            if ( in.getLong() != schemaHash(fields) || in.getInt() != fields.size() )
+                throw new ParsingException.IllegalState(String.format(SCHEMA_MISMATCH, snapshot));
+
+            Object[] values = new Object[fields.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = readValue(in, codecOf(fields.get(i)));
+            }
+            if ( in.hasRemaining() )
+                throw new ParsingException.IllegalState(String.format(TRAILING_BYTES, snapshot));
+
+            // nothing is assigned until the whole body is decoded, so a corrupt snapshot leaves the holder untouched
+            // an absent value is assigned too, so a field saved as null does not keep its initializer value
+            for (int i = 0; i < values.length; i++) {
+                Field field = fields.get(i);
+                if ( values[i] != null || !field.getType().isPrimitive() )
+                    set(holder, field, values[i]);
+            }
+        } catch (IOException | RuntimeException e) {
+            if ( e instanceof ParsingException.IllegalState )
+                throw (ParsingException.IllegalState) e;
+            throw new ParsingException.IllegalState(String.format(ERROR_READING, snapshot), e);
+        }
+    }
+
+    /**
+     * FNV-1a hash over the name, type and option of every Argument field, in declaration order.
+     */
+    static long schemaHash(List<Field> fields) {
+        long hash = 0xcbf29ce484222325L;
+        for (Field field : fields) {
+            Argument annotation = field.getAnnotation(Argument.class);
+            String signature = field.getName() + ':' + field.getType().getName() + ':'
+                    + annotation.value() + ':' + annotation.longOpt() + ':' + annotation.type() + ';';
+            for (byte b : signature.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= (b & 0xff);
+                hash *= 0x100000001b3L;
+            }
+        }
+        return hash;
+    }
+
+    private static Codec codecOf(Field field) {
+        Class<?> type = field.getType();
+        Codec codec = type.isArray() ? arrayCodec(type.getComponentType()) : codecs.get(type);
+        if ( codec == null )
+            throw new ParsingException.IllegalState(String.format(NO_CODEC, field.getName(), type.getName()));
+        return codec;
+    }
+
+    private static Codec arrayCodec(Class<?> componentType) {
+        Codec element = codecs.get(componentType);
+        if ( element == null )
+            return null;
+
+        return new Codec(
+            (out, v) -> {
+                int length = Array.getLength(v);
+                out.writeInt(length);
+                for (int i = 0; i < length; i++) {
+                    writeValue(out, element, Array.get(v, i));
+                }
+            },
+            in -> {
+                Object array = Array.newInstance(componentType, readLength(in));
+                for (int i = 0; i < Array.getLength(array); i++) {
+                    Array.set(array, i, readValue(in, element));
+                }
+                return array;
+            });
+    }
+
+    private static void writeValue(DataOutputStream out, Codec codec, Object value) throws IOException {
+        if ( value == null ) {
+            out.writeByte(ABSENT);
+        } else {
+            out.writeByte(PRESENT);
+            codec.writer.write(out, value);
+        }
+    }
+
+    private static Object readValue(ByteBuffer in, Codec codec) {
+        return in.get() == ABSENT ? null : codec.reader.read(in);
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] utf8 = new byte[readLength(in)];
+        in.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Every value takes at least one byte, so a length over the remaining bytes can only come from a corrupt file.
+     */
+    private static int readLength(ByteBuffer in) {
+        int length = in.getInt();
+        if ( length < 0 || length > in.remaining() )
+            throw new ParsingException.IllegalState(String.format(CORRUPT_LENGTH, length));
+        return length;
+    }
+
+    private static Object get(Object holder, Field f) {
+        boolean wasAccessible = f.isAccessible();
+        f.setAccessible(true);
+        try {
+            return f.get(holder);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        } finally {
+            f.setAccessible(wasAccessible);
+        }
+    }
+
+    private static void set(Object holder, Field f, Object value) {
+        boolean wasAccessible = f.isAccessible();
+        f.setAccessible(true);
+        try {
+            f.set(holder, value);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        } finally {
+            f.setAccessible(wasAccessible);
+        }
+    }
+
+    private static void register(Class<?> primitive, Class<?> wrapper, Writer writer, Reader reader) {
+        register(primitive, writer, reader);
+        register(wrapper, writer, reader);
+    }
+
+    private static void register(Class<?> type, Writer writer, Reader reader) {
+        codecs.put(type, new Codec(writer, reader));
+    }
+
+    private interface Writer { void write(DataOutputStream out, Object value) throws IOException; }
+
+    private interface Reader { Object read(ByteBuffer in); }
+
+    @AllArgsConstructor
+    private static final class Codec {
+        final Writer writer;
+        final Reader reader;
+    }
+}
@@ -0,0 +1,294 @@
+package commandLine.options.annotation;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Cartesian product of the values of the Sweep fields, streamed lazily.
+ * Each point is a copy of the parsed parser with the Sweep fields set.
+ * Listed values are converted once and shared by every point. Integer ranges are
+ * not expanded in memory, their values are boxed to the field type when a point needs them.
+ */
+final class ArgumentSweep {
+
+    private static final String RANGE_REVERSED = "%s range %s has its start after its end";
+    private static final String TOO_MANY_POINTS = "Sweep has more than %d points";
+    private static final String EMPTY_SWEEP = "%s does not have any value to sweep";
+    private static final String RANGE_WITH_CONSTRAINT = "%s has a OneOf, Pattern or Size, so it can't sweep the range %s";
+
+    private static final Map<Class<?>, LongFunction<Object>> boxers = new HashMap<>();
+
+    static {
+        boxers.put(byte.class,  v -> (byte) v);
+        boxers.put(short.class, v -> (short) v);
+        boxers.put(int.class,   v -> (int) v);
+        boxers.put(long.class,  v -> v);
+        boxers.put(Byte.class,    boxers.get(byte.class));
+        boxers.put(Short.class,   boxers.get(short.class));
+        boxers.put(Integer.class, boxers.get(int.class));
+        boxers.put(Long.class,    boxers.get(long.class));
+    }
+
+    private ArgumentSweep() { }
+
+    /**
+     * Splits a Sweep value on the Argument separator. For an integral field, a token like 1..100
+     * with integer bounds is an inclusive range, any other token is a plain value.
+     * Duplicated plain values are dropped, so each distinct one is converted only once.
+     * Only the bounds of a range are converted and checked: they cover every value in between
+     * for the field type and a Range, so a field with any other constraint can't take a range.
+     * @param converter converts and checks one token, as parse() does
+     */
+    static Axis axis(Field field, String value, Function<String, Object> converter) {
+        String fieldName = field.getName();
+        boolean isIntegral = ArgumentConstraints.isIntegral(field.getType());
+        List<Segment> segments = new ArrayList<>();
+        List<Object> plainValues = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+
+        for (String token : value.split(Argument.DEFAULT_SEPARATOR)) {
+            token = token.trim();
+            if ( token.isEmpty() )
+                continue;
+
+            long[] bounds = isIntegral ? rangeBounds(token) : null;
+            if ( bounds == null ) {
+                if ( seen.add(token) )
+                    plainValues.add(converter.apply(token));
+                continue;
+            }
+
+            if ( bounds[0] > bounds[1] )
+                throw new ParsingException.IllegalState(String.format(RANGE_REVERSED, fieldName, token));
+            if ( hasValueConstraint(field) )
+                throw new ParsingException.IllegalState(String.format(RANGE_WITH_CONSTRAINT, fieldName, token));
+            if ( !plainValues.isEmpty() ) {
+                segments.add(new Values(plainValues.toArray()));
+                plainValues.clear();
+            }
+            converter.apply(Long.toString(bounds[0]));
+            converter.apply(Long.toString(bounds[1]));
+            segments.add(new LongRange(bounds[0], sizeOf(bounds[0], bounds[1]), boxers.get(field.getType())));
+        }
+        if ( !plainValues.isEmpty() )
+            segments.add(new Values(plainValues.toArray()));
+        if ( segments.isEmpty() )
+            throw new ParsingException.IllegalState(String.format(EMPTY_SWEEP, fieldName));
+        return new Axis(segments.toArray(new Segment[0]));
+    }
+
+    static <T extends ArgumentParser> Stream<T> stream(Class<T> type, T parsed, List<Field> fields, List<Axis> axes) {
+        Field[] accessibleFields = new Field[fields.size()];
+        for (int i = 0; i < accessibleFields.length; i++) {
+            accessibleFields[i] = accessibleCopy(fields.get(i));
+        }
+
+        long size = 1;
+        for (Axis axis : axes) {
+            size = multiply(size, axis.size);
+        }
+
+        Points<T> points = new Points<>(type, parsed, accessibleFields, axes.toArray(new Axis[0]), 0, size);
+        return StreamSupport.stream(points, false);
+    }
+
+    private static boolean hasValueConstraint(Field field) {
+        return field.isAnnotationPresent(OneOf.class)
+                || field.isAnnotationPresent(Pattern.class)
+                || field.isAnnotationPresent(Size.class);
+    }
+
+    private static long[] rangeBounds(String token) {
+        int separator = token.indexOf(Sweep.RANGE_SEPARATOR);
+        if ( separator <= 0 )
+            return null;
+        try {
+            long start = Long.parseLong(token.substring(0, separator).trim());
+            long end = Long.parseLong(token.substring(separator + Sweep.RANGE_SEPARATOR.length()).trim());
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static long sizeOf(long start, long end) {
+        try {
+            return Math.addExact(Math.subtractExact(end, start), 1);
+        } catch (ArithmeticException e) {
+            throw new ParsingException.IllegalState(String.format(TOO_MANY_POINTS, Long.MAX_VALUE), e);
+        }
+    }
+
+    private static long add(long a, long b) {
+        try {
+            return Math.addExact(a, b);
+        } catch (ArithmeticException e) {
+            throw new ParsingException.IllegalState(String.format(TOO_MANY_POINTS, Long.MAX_VALUE), e);
+        }
+    }
+
+    private static long multiply(long a, long b) {
+        try {
+            return Math.multiplyExact(a, b);
+        } catch (ArithmeticException e) {
+            throw new ParsingException.IllegalState(String.format(TOO_MANY_POINTS, Long.MAX_VALUE), e);
+        }
+    }
+
+    /**
+     * The Field objects of the parser are toggled accessible by setValue(),
+     * so the sweep sets its own copies, which are shared by concurrent points.
+     */
+    private static Field accessibleCopy(Field field) {
+        try {
+            Field copy = field.getDeclaringClass().getDeclaredField(field.getName());
+            copy.setAccessible(true);
+            return copy;
+        } catch (NoSuchFieldException e) {
+            throw new ParsingException.IllegalState(e.getMessage(), e);
+        }
+    }
+
+    private interface Segment {
+        long size();
+
+        Object get(long index);
+    }
+
+    private static final class Values implements Segment {
+        private final Object[] values;
+
+        Values(Object[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public long size() {
+            return values.length;
+        }
+
+        @Override
+        public Object get(long index) {
+            return values[(int) index];
+        }
+    }
+
+    private static final class LongRange implements Segment {
+        private final long start;
+        private final long size;
+        private final LongFunction<Object> boxer;
+
+        LongRange(long start, long size, LongFunction<Object> boxer) {
+            this.start = start;
+            this.size = size;
+            this.boxer = boxer;
+        }
+
+        @Override
+        public long size() {
+            return size;
+        }
+
+        @Override
+        public Object get(long index) {
+            return boxer.apply(start + index);
+        }
+    }
+
+    static final class Axis {
+        private final Segment[] segments;
+        private final long size;
+
+        Axis(Segment[] segments) {
+            this.segments = segments;
+            long size = 0;
+            for (Segment segment : segments) {
+                size = add(size, segment.size());
+            }
+            this.size = size;
+        }
+
+        Object get(long index) {
+            for (Segment segment : segments) {
+                if ( index < segment.size() )
+                    return segment.get(index);
+                index -= segment.size();
+            }
+            throw new IndexOutOfBoundsException(Long.toString(index));
+        }
+    }
+
+    private static final class Points<T extends ArgumentParser> implements Spliterator<T> {
+        private final Class<T> type;
+        private final T parsed;
+        private final Field[] fields;
+        private final Axis[] axes;
+        private long index;
+        private final long end;
+
+        Points(Class<T> type, T parsed, Field[] fields, Axis[] axes, long index, long end) {
+            this.type = type;
+            this.parsed = parsed;
+            this.fields = fields;
+            this.axes = axes;
+            this.index = index;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if ( index >= end )
+                return false;
+            action.accept(point(index++));
+            return true;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            long middle = index + (end - index) / 2;
+            if ( middle <= index )
+                return null;
+            Spliterator<T> prefix = new Points<>(type, parsed, fields, axes, index, middle);
+            index = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+        }
+
+        /**
+         * The last Sweep field varies the fastest, like nested loops in declaration order.
+         */
+        private T point(long position) {
+            T point = type.cast(parsed.copy());
+            try {
+                for (int i = fields.length - 1; i >= 0; i--) {
+                    Axis axis = axes[i];
+                    fields[i].set(point, axis.get(position % axis.size));
+                    position /= axis.size;
+                }
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException(e);
+            }
+            return point;
+        }
+    }
+}
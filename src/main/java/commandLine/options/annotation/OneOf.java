@@ -0,0 +1,16 @@
+package commandLine.options.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Accepted values of an Argument. They are converted once with the converter of the Argument type
+ * and compared with the converted value, so "1" accepts 1.0 for a Float. Checked on every element of an array.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface OneOf {
+    String[] value();
+}
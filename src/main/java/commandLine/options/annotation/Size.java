@@ -0,0 +1,17 @@
+package commandLine.options.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Inclusive bounds of the length of a String or of an array Argument.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Size {
+    int min() default 0;
+
+    int max() default Integer.MAX_VALUE;
+}
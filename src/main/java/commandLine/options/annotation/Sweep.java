@@ -0,0 +1,16 @@
+package commandLine.options.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a scalar Argument that takes a list of values, or integer ranges like 1..100,
+ * when parsed with ArgumentParser.sweep(). Each value becomes one axis point of the sweep.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Sweep {
+    String RANGE_SEPARATOR = "..";
+}
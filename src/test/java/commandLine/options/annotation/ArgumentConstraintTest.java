@@ -0,0 +1,152 @@
+package commandLine.options.annotation;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+
+public class ArgumentConstraintTest {
+
+    static class Arg extends ArgumentParser {
+        @Argument("port") @Range(min = 1, max = 65535) int port;
+        @Argument(value = "ratio", type = Argument.Type.OPTIONAL) @DecimalRange(min = 0.001, max = 1) Double ratio;
+        @Argument(value = "name", type = Argument.Type.OPTIONAL) @Pattern("[a-z]+") @Size(max = 8) String name;
+        @Argument(value = "mode", type = Argument.Type.OPTIONAL) @OneOf({"fast", "slow"}) String mode;
+        @Argument(value = "factor", type = Argument.Type.OPTIONAL) @OneOf({"1", "2.5"}) Float factor;
+        @Argument(value = "ids", type = Argument.Type.OPTIONAL) @Range(min = 0) @Size(min = 1, max = 3) Integer[] ids;
+    }
+
+    @Test
+    public void validValuesTest () {
+        Arg holder = new Arg();
+        holder.parse("-port", "8080", "-ratio", "0.5", "-name", "abc", "-mode", "fast", "-factor", "1", "-ids", "1,2,3");
+
+        Assert.assertThat(holder.port,  is(8080));
+        Assert.assertThat(holder.ratio, is(0.5d));
+        Assert.assertThat(holder.name,  is("abc"));
+        Assert.assertThat(holder.mode,  is("fast"));
+        Assert.assertThat(holder.factor, is(1f));
+        Assert.assertThat(holder.ids,   is(new Integer[]{1,2,3}));
+    }
+
+    @Test
+    public void outOfRangeTest () {
+        assertViolation("port", "-port", "0");
+        assertViolation("ratio", "-port", "1", "-ratio", "1.5");
+        assertViolation("ratio", "-port", "1", "-ratio", "0.0005");
+        assertViolation("ids", "-port", "1", "-ids", "1,-2");
+    }
+
+    @Test
+    public void wrongSizeTest () {
+        assertViolation("name", "-port", "1", "-name", "abcdefghi");
+        assertViolation("ids", "-port", "1", "-ids", "1,2,3,4");
+    }
+
+    @Test
+    public void notMatchingTest () {
+        assertViolation("name", "-port", "1", "-name", "ABC");
+    }
+
+    @Test
+    public void notOneOfTest () {
+        assertViolation("mode", "-port", "1", "-mode", "medium");
+        assertViolation("factor", "-port", "1", "-factor", "2");
+    }
+
+    @Test
+    public void rangeOnStringTest () {
+        //When
+        class Arg extends ArgumentParser {
+            @Argument("s") @Range(max = 10) String param;
+        }
+
+        //Given
+        try { new Arg(); Assert.fail(); }
+
+        //Verify
+        catch (Throwable e) {
+            Assert.assertThat(e, instanceOf(ParsingException.IllDefinedOptions.class));
+            Assert.assertTrue(e.getMessage().contains("integral"));
+        }
+    }
+
+    @Test
+    public void rangeOnDoubleTest () {
+        //When
+        class Arg extends ArgumentParser {
+            @Argument("s") @Range(max = 10) double param;
+        }
+
+        //Given
+        try { new Arg(); Assert.fail(); }
+
+        //Verify
+        catch (Throwable e) {
+            Assert.assertThat(e, instanceOf(ParsingException.IllDefinedOptions.class));
+            Assert.assertTrue(e.getMessage().contains("DecimalRange"));
+        }
+    }
+
+    @Test
+    public void illDefinedOneOfTest () {
+        //When
+        class Arg extends ArgumentParser {
+            @Argument(value = "x", type = Argument.Type.OPTIONAL) @OneOf({"1", "abc"}) Integer param;
+        }
+
+        //Given
+        try { new Arg(); Assert.fail(); }
+
+        //Verify
+        catch (Throwable e) {
+            Assert.assertThat(e, instanceOf(ParsingException.IllDefinedOptions.class));
+            Assert.assertTrue(e.getMessage().contains("abc"));
+        }
+    }
+
+    @Test
+    public void illDefinedDecimalRangeTest () {
+        //When
+        class Arg extends ArgumentParser {
+            @Argument("s") @DecimalRange(min = 1, max = 0.5) double param;
+        }
+
+        //Given
+        try { new Arg(); Assert.fail(); }
+
+        //Verify
+        catch (Throwable e) {
+            Assert.assertThat(e, instanceOf(ParsingException.IllDefinedOptions.class));
+            Assert.assertTrue(e.getMessage().contains("DecimalRange"));
+        }
+    }
+
+    @Test
+    public void invalidPatternTest () {
+        //When
+        class Arg extends ArgumentParser {
+            @Argument("s") @Pattern("[a-z") String param;
+        }
+
+        //Given
+        try { new Arg(); Assert.fail(); }
+
+        //Verify
+        catch (Throwable e) {
+            Assert.assertThat(e, instanceOf(ParsingException.IllDefinedOptions.class));
+            Assert.assertTrue(e.getMessage().contains("Pattern"));
+        }
+    }
+
+    private static void assertViolation (String field, String... args) {
+        try {
+            new Arg().parse(args);
+            Assert.fail();
+        } catch (Throwable e) {
+            Assert.assertThat(e, instanceOf(ParsingException.IllegalState.class));
+            Assert.assertTrue(e.getMessage().startsWith(field));
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package commandLine.options.annotation;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+
+public class ArgumentSnapshotTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    static class Arg extends ArgumentParser {
+        @Argument("i") int anInt;
+        @Argument("d") double aDouble;
+        @Argument(value = "o", type = Argument.Type.OPTIONAL) Long anOptional;
+        @Argument(value = "f", type = Argument.Type.FLAG) boolean aFlag;
+        @Argument("s") String aString;
+        @Argument("t") Date aDate;
+        @Argument("p") Path aPath;
+        @Argument("a") Integer[] anArray;
+        @Argument("n") File[] aFileArray;
+    }
+
+    static class OtherArg extends ArgumentParser {
+        @Argument("i") long anInt;
+    }
+
+    @Test
+    public void saveAndLoadTest () throws IOException, ParseException {
+        Path snapshot = folder.newFile().toPath();
+
+        new Arg().parse(
+                "-i", "10", "-d", "0.5", "-f", "-s", "some välue", "-t", "2020-01-22",
+                "-p", "/a/33/", "-a", "1, 2, 3", "-n", "~/somedir/, ~/somefile.ext")
+            .save(snapshot);
+
+        Arg holder = new Arg();
+        holder.load(snapshot);
+
+        Assert.assertThat(holder.anInt,         is(10));
+        Assert.assertThat(holder.aDouble,       is(0.5d));
+        Assert.assertThat(holder.anOptional,    nullValue());
+        Assert.assertThat(holder.aFlag,         is(true));
+        Assert.assertThat(holder.aString,       is("some välue"));
+        Assert.assertThat(holder.aDate,         is(new SimpleDateFormat("yyyy-MM-dd").parse("2020-01-22")));
+        Assert.assertThat(holder.aPath,         is(Paths.get("/a/33/")));
+        Assert.assertThat(holder.anArray,       is(new Integer[]{1,2,3}));
+        Assert.assertThat(holder.aFileArray,    is(new File[]{new File("~/somedir/"), new File("~/somefile.ext")}));
+    }
+
+    static class InitializedArg extends ArgumentParser {
+        @Argument(value = "x", type = Argument.Type.OPTIONAL) Integer x = 5;
+    }
+
+    static class CustomTypeArg extends ArgumentParser {
+        @Argument(value = "b", type = Argument.Type.OPTIONAL) StringBuilder aBuilder;
+
+        @Override
+        public Map<Class<?>, Function<String, ?>> hookCustomTypeConversion() {
+            return Collections.singletonMap(StringBuilder.class, StringBuilder::new);
+        }
+    }
+
+    @Test
+    public void nullIsLoadedOverInitializerTest () throws IOException {
+        Path snapshot = folder.newFile().toPath();
+        InitializedArg saved = new InitializedArg();
+        saved.x = null;
+        saved.save(snapshot);
+
+        InitializedArg holder = new InitializedArg();
+        holder.load(snapshot);
+
+        Assert.assertThat(holder.x, nullValue());
+    }
+
+    @Test
+    public void customTypeIsRejectedTest () throws IOException {
+        Path snapshot = folder.newFile().toPath();
+
+        try {
+            new CustomTypeArg().parse().save(snapshot);
+            Assert.fail();
+        } catch (Throwable e) {
+            Assert.assertThat(e, instanceOf(ParsingException.IllegalState.class));
+            Assert.assertTrue(e.getMessage().contains("can't be written"));
+        }
+    }
+
+    @Test
+    public void schemaMismatchTest () throws IOException {
+        Path snapshot = folder.newFile().toPath();
+        new Arg().parse(
+                "-i", "10", "-d", "0.5", "-s", "s", "-t", "2020-01-22", "-p", "/", "-a", "1", "-n", "/")
+            .save(snapshot);
+
+        try {
+            new OtherArg().load(snapshot);
+            Assert.fail();
+        } catch (Throwable e) {
+            Assert.assertThat(e, instanceOf(ParsingException.IllegalState.class));
+            Assert.assertTrue(e.getMessage().contains("schema"));
+        }
+    }
+
+    @Test
+    public void truncatedSnapshotTest () throws IOException {
+        Path snapshot = folder.newFile().toPath();
+        new Arg().parse(
+                "-i", "10", "-d", "0.5", "-s", "s", "-t", "2020-01-22", "-p", "/", "-a", "1", "-n", "/")
+            .save(snapshot);
+        byte[] bytes = Files.readAllBytes(snapshot);
+        Files.write(snapshot, Arrays.copyOf(bytes, bytes.length - 3));
+
+        Arg holder = new Arg();
+        holder.anInt = 7;
+        holder.aString = "untouched";
+        try {
+            holder.load(snapshot);
+            Assert.fail();
+        } catch (Throwable e) {
+            Assert.assertThat(e, instanceOf(ParsingException.IllegalState.class));
+        }
+        Assert.assertThat(holder.anInt,     is(7));
+        Assert.assertThat(holder.aString,   is("untouched"));
+    }
+
+    @Test
+    public void wrongVersionTest () throws IOException {
+        Path snapshot = folder.newFile().toPath();
+        new OtherArg().parse("-i", "10").save(snapshot);
+        byte[] bytes = Files.readAllBytes(snapshot);
+        ByteBuffer.wrap(bytes).putShort(4, (short) 99);
+        Files.write(snapshot, bytes);
+
+        try {
+            new OtherArg().load(snapshot);
+            Assert.fail();
+        } catch (Throwable e) {
+            Assert.assertThat(e, instanceOf(ParsingException.IllegalState.class));
+            Assert.assertTrue(e.getMessage().contains("version 99"));
+        }
+    }
+
+    @Test
+    public void notASnapshotTest () throws IOException {
+        File file = folder.newFile();
+
+        try {
+            new OtherArg().load(file.toPath());
+            Assert.fail();
+        } catch (Throwable e) {
+            Assert.assertThat(e, instanceOf(ParsingException.IllegalState.class));
+            Assert.assertTrue(e.getMessage().contains("not an argument snapshot"));
+        }
+    }
+}
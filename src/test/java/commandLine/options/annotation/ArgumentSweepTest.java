@@ -0,0 +1,202 @@
+package commandLine.options.annotation;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.StreamSupport;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+
+public class ArgumentSweepTest {
+
+    static class Arg extends ArgumentParser {
+        @Argument("lr") @Sweep double learningRate;
+        @Argument("bs") @Sweep Integer batchSize;
+        @Argument(value = "seed", type = Argument.Type.OPTIONAL) @Sweep @Range(min = 0) Long seed;
+        @Argument("name") String name;
+    }
+
+    @Test
+    public void cartesianProductTest () {
+        List<Arg> points = new Arg().sweep(Arg.class, "-lr", "0.1,0.2,0.3", "-bs", "320, 640", "-seed", "1..100", "-name", "run")
+                .collect(toList());
+
+        Assert.assertThat(points.size(), is(600));
+
+        Arg first = points.get(0);
+        Assert.assertThat(first.learningRate,   is(0.1d));
+        Assert.assertThat(first.batchSize,      is(320));
+        Assert.assertThat(first.seed,           is(1L));
+        Assert.assertThat(first.name,           is("run"));
+
+        Arg second = points.get(1);
+        Assert.assertThat(second.seed,          is(2L));
+        Assert.assertThat(second.batchSize,     is(320));
+
+        Arg last = points.get(599);
+        Assert.assertThat(last.learningRate,    is(0.3d));
+        Assert.assertThat(last.batchSize,       is(640));
+        Assert.assertThat(last.seed,            is(100L));
+        Assert.assertThat(last.name,            sameInstance(first.name));
+        Assert.assertThat(second.batchSize,     sameInstance(first.batchSize));
+    }
+
+    @Test
+    public void parallelTest () {
+        long count = new Arg().sweep(Arg.class, "-lr", "0.1,0.2", "-bs", "1..500", "-seed", "1..1000", "-name", "run")
+                .parallel()
+                .filter(x -> x.seed % 2 == 0)
+                .count();
+
+        Assert.assertThat(count, is(2L * 500 * 500));
+    }
+
+    @Test
+    public void singleValueAndMissingOptionalTest () {
+        List<Arg> points = new Arg().sweep(Arg.class, "-lr", "0.1,0.1", "-bs", "32", "-name", "run")
+                .collect(toList());
+
+        Assert.assertThat(points.size(),        is(1));
+        Assert.assertThat(points.get(0).learningRate, is(0.1d));
+        Assert.assertThat(points.get(0).seed,   is((Long) null));
+    }
+
+    @Test
+    public void constraintIsCheckedOnEveryValueTest () {
+        try {
+            new Arg().sweep(Arg.class, "-lr", "0.1", "-bs", "32", "-seed", "-1..3", "-name", "run");
+            Assert.fail();
+        } catch (Throwable e) {
+            Assert.assertThat(e, instanceOf(ParsingException.IllegalState.class));
+            Assert.assertTrue(e.getMessage().startsWith("seed"));
+        }
+    }
+
+    @Test
+    public void rangeWithOneOfIsRejectedTest () {
+        class OneOfArg extends ArgumentParser {
+            @Argument("seed") @Sweep @OneOf({"1", "2", "10"}) Integer seed;
+        }
+
+        List<OneOfArg> points = new OneOfArg().sweep(OneOfArg.class, "-seed", "1, 10").collect(toList());
+        Assert.assertThat(points.size(), is(2));
+
+        try {
+            new OneOfArg().sweep(OneOfArg.class, "-seed", "1..10");
+            Assert.fail();
+        } catch (Throwable e) {
+            Assert.assertThat(e, instanceOf(ParsingException.IllegalState.class));
+            Assert.assertTrue(e.getMessage().startsWith("seed"));
+            Assert.assertTrue(e.getMessage().contains("1..10"));
+        }
+    }
+
+    @Test
+    public void rangeIsBoxedToFieldTypeTest () {
+        class ShortArg extends ArgumentParser {
+            @Argument("s") @Sweep short aShort;
+        }
+
+        List<ShortArg> points = new ShortArg().sweep(ShortArg.class, "-s", "-2..2").collect(toList());
+
+        Assert.assertThat(points.size(),        is(5));
+        Assert.assertThat(points.get(0).aShort, is((short) -2));
+        Assert.assertThat(points.get(4).aShort, is((short) 2));
+
+        try {
+            new ShortArg().sweep(ShortArg.class, "-s", "1..40000");
+            Assert.fail();
+        } catch (Throwable e) {
+            Assert.assertThat(e.getCause(), instanceOf(NumberFormatException.class));
+        }
+    }
+
+    @Test
+    public void reversedRangeTest () {
+        try {
+            new Arg().sweep(Arg.class, "-lr", "0.1", "-bs", "64..32", "-name", "run");
+            Assert.fail();
+        } catch (Throwable e) {
+            Assert.assertThat(e, instanceOf(ParsingException.IllegalState.class));
+            Assert.assertTrue(e.getMessage().contains("start after its end"));
+        }
+    }
+
+    @Test
+    public void rangeUpToLongMaxTest () {
+        List<Arg> points = new Arg().sweep(Arg.class,
+                "-lr", "0.1", "-bs", "32", "-seed", "9223372036854775806..9223372036854775807", "-name", "run")
+                .collect(toList());
+
+        Assert.assertThat(points.size(),        is(2));
+        Assert.assertThat(points.get(1).seed,   is(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void largeRangeIsNotExpandedTest () {
+        Spliterator<Arg> points = new Arg().sweep(Arg.class, "-lr", "0.1", "-bs", "32", "-seed", "1..100000000, 0", "-name", "run")
+                .spliterator();
+
+        Assert.assertThat(points.getExactSizeIfKnown(), is(100000001L));
+        Assert.assertThat(StreamSupport.stream(points.trySplit(), false).findFirst().get().seed, is(1L));
+        while ( points.estimateSize() > 1 ) {
+            points.trySplit();
+        }
+        points.tryAdvance(last -> Assert.assertThat(last.seed, is(0L)));
+    }
+
+    @Test
+    public void rangeOnlyForIntegralTest () {
+        class PathArg extends ArgumentParser {
+            @Argument("p") @Sweep Path path;
+        }
+
+        List<PathArg> points = new PathArg().sweep(PathArg.class, "-p", "out/../data, 1..3")
+                .collect(toList());
+
+        Assert.assertThat(points.size(),        is(2));
+        Assert.assertThat(points.get(0).path,   is(Paths.get("out/../data")));
+        Assert.assertThat(points.get(1).path,   is(Paths.get("1..3")));
+    }
+
+    @Test
+    public void pointsHaveTheirOwnConvertersTest () {
+        List<Arg> points = new Arg().sweep(Arg.class, "-lr", "0.1", "-bs", "32, 64", "-name", "run")
+                .collect(toList());
+
+        points.get(0).parse("-lr", "0.5", "-bs", "1", "-name", "other");
+
+        Assert.assertThat(points.get(0).name,   is("other"));
+        Assert.assertThat(points.get(1).name,   is("run"));
+        Assert.assertThat(points.get(1).batchSize, is(64));
+    }
+
+    @Test(expected = ClassCastException.class)
+    public void wrongTypeTest () {
+        new Arg().sweep(DummyParent.class, "-lr", "0.1", "-bs", "32", "-name", "run");
+    }
+
+    @Test
+    public void sweepOnArrayTest () {
+        //When
+        class Arg extends ArgumentParser {
+            @Argument("s") @Sweep Integer[] param;
+        }
+
+        //Given
+        try { new Arg(); Assert.fail(); }
+
+        //Verify
+        catch (Throwable e) {
+            Assert.assertThat(e, instanceOf(ParsingException.IllDefinedOptions.class));
+            Assert.assertTrue(e.getMessage().contains("scalar"));
+        }
+    }
+}